@@ -0,0 +1,42 @@
+package com.demo.spotify.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Startup tuning for the production profile. The OpenAPI docs and Swagger UI aren't needed to
+ * serve traffic, so their beans are only created on first use instead of during startup.
+ */
+@Configuration
+@Profile("prod")
+public class StartupConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    // Static so the post-processor is registered without instantiating this configuration early.
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringDocBeans() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (isSpringDocBean(beanFactory, definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isSpringDocBean(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        // @Bean methods carry no class name of their own; fall back to the declaring configuration.
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (className == null && factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            className = beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return className != null && className.startsWith(SPRINGDOC_PACKAGE);
+    }
+}
@@ -26,11 +26,18 @@ public class WebSecurityConfig {
     @Value("${app.auth.password}")
     private String password;
 
+    @Value("${app.auth.admin-username}")
+    private String adminUsername;
+
+    @Value("${app.auth.admin-password}")
+    private String adminPassword;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .httpBasic(withDefaults());
@@ -44,7 +51,12 @@ public class WebSecurityConfig {
                 .password(passwordEncoder().encode(password))
                 .roles("USER")
                 .build();
-        return new InMemoryUserDetailsManager(user);
+        UserDetails admin = User.builder()
+                .username(adminUsername)
+                .password(passwordEncoder().encode(adminPassword))
+                .roles("USER", "ADMIN")
+                .build();
+        return new InMemoryUserDetailsManager(user, admin);
     }
 
     @Bean
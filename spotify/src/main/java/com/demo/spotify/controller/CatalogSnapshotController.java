@@ -0,0 +1,69 @@
+package com.demo.spotify.controller;
+
+import com.demo.spotify.dto.SnapshotImportResponseDTO;
+import com.demo.spotify.service.CatalogSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/catalog-snapshot")
+@Tag(name = "Admin", description = "Endpoints for exporting and importing the track catalog.")
+public class CatalogSnapshotController {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotController.class);
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    public CatalogSnapshotController(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    /**
+     * Writes the snapshot synchronously on the request thread, so no async request timeout can cut it off.
+     * Large catalogs should be exported with {@code --snapshot.export=<file>} instead.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Downloads a binary snapshot of all tracks and cover images",
+            description = "For large catalogs, use the --snapshot.export=<file> startup argument instead.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot streamed successfully"),
+            @ApiResponse(responseCode = "403", description = "Caller lacks the ADMIN role")
+    })
+    public void exportSnapshot(HttpServletResponse response) throws IOException {
+        log.info("Request received to export the catalog snapshot");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog.snapshot\"");
+        long exported = catalogSnapshotService.exportSnapshot(response.getOutputStream());
+        log.info("Catalog snapshot exported: {} tracks", exported);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Bulk-loads a catalog snapshot without calling the Spotify API")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Snapshot imported; tracks already present were skipped"),
+            @ApiResponse(responseCode = "400", description = "Snapshot is malformed, truncated or fails its checksum"),
+            @ApiResponse(responseCode = "403", description = "Caller lacks the ADMIN role")
+    })
+    public ResponseEntity<SnapshotImportResponseDTO> importSnapshot(InputStream body) throws IOException {
+        log.info("Request received to import a catalog snapshot");
+        SnapshotImportResponseDTO result = catalogSnapshotService.importSnapshot(new BufferedInputStream(body));
+        log.info("Catalog snapshot imported: {} tracks", result.importedTracks());
+        return ResponseEntity.ok(result);
+    }
+}
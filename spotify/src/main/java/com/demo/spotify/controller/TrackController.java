@@ -4,22 +4,33 @@ import com.demo.spotify.dto.TrackResponseDTO;
 import com.demo.spotify.entity.Track;
 import com.demo.spotify.mapper.TrackMapper;
 import com.demo.spotify.service.StorageService;
+import com.demo.spotify.service.TrackResponseCache;
+import com.demo.spotify.service.TrackResponseCache.CachedTrackResponse;
 import com.demo.spotify.service.TrackService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/tracks")
 @Tag(name = "Tracks", description = "Endpoints for managing music track data.")
@@ -28,14 +39,19 @@ public class TrackController {
 
     private static final Logger log = LoggerFactory.getLogger(TrackController.class);
 
+    private static final String ISRC_REGEXP = "^[A-Z]{2}[A-Z0-9]{3}\\d{7}$";
+
     private final TrackService trackService;
     private final StorageService storageService;
     private final TrackMapper trackMapper;
+    private final TrackResponseCache trackResponseCache;
 
-    public TrackController(TrackService trackService, StorageService storageService, TrackMapper trackMapper) {
+    public TrackController(TrackService trackService, StorageService storageService, TrackMapper trackMapper,
+                           TrackResponseCache trackResponseCache) {
         this.trackService = trackService;
         this.storageService = storageService;
         this.trackMapper = trackMapper;
+        this.trackResponseCache = trackResponseCache;
     }
 
     @PostMapping
@@ -46,23 +62,48 @@ public class TrackController {
             @ApiResponse(responseCode = "404", description = "Track not found on external service")
     })
     public ResponseEntity<TrackResponseDTO> createTrack(
-            @RequestParam @NotBlank @Pattern(regexp = "^[A-Z]{2}[A-Z0-9]{3}\\d{7}$", message = "Invalid ISRC format") String isrc) {
+            @RequestParam @NotBlank @Pattern(regexp = ISRC_REGEXP, message = "Invalid ISRC format") String isrc) {
         log.info("Request received to create track with ISRC: {}", isrc);
         Track createdTrack = trackService.createTrack(isrc);
         log.info("Successfully created track with ISRC: {}", isrc);
         return ResponseEntity.status(HttpStatus.CREATED).body(trackMapper.toDto(createdTrack));
     }
 
+    @GetMapping
+    @Operation(summary = "Retrieves metadata for several tracks by ISRC")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metadata of the known tracks, in request order; unknown ISRCs are omitted",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = TrackResponseDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "No ISRCs, too many ISRCs or an invalid ISRC format provided")
+    })
+    public ResponseEntity<byte[]> getTracksMetadata(
+            @RequestParam @NotEmpty @Size(max = 100) List<@Pattern(regexp = ISRC_REGEXP, message = "Invalid ISRC format") String> isrcs,
+            HttpServletRequest request) {
+        log.info("Request received for metadata of {} tracks", isrcs.size());
+        byte[] json = trackResponseCache.getJsonArray(isrcs, request, trackService::getTracksByIsrcs);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
     @GetMapping("/{isrc}")
     @Operation(summary = "Retrieves track metadata by ISRC")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved track metadata"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved track metadata",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = TrackResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Track metadata matches the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Track not found in the database")
     })
-    public ResponseEntity<TrackResponseDTO> getTrackMetadata(@PathVariable String isrc) {
+    public ResponseEntity<byte[]> getTrackMetadata(@PathVariable String isrc, HttpServletRequest request) {
         log.info("Request received for metadata of track with ISRC: {}", isrc);
-        Track track = trackService.getTrackByIsrc(isrc);
-        return ResponseEntity.ok(trackMapper.toDto(track));
+        CachedTrackResponse cached = trackResponseCache.get(isrc, request, trackService::getTrackByIsrc);
+        // The ETag lets Spring answer a matching If-None-Match with 304 and no body.
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .body(cached.json());
     }
 
 
@@ -0,0 +1,8 @@
+package com.demo.spotify.dto;
+
+public record SnapshotImportResponseDTO(
+        long importedTracks,
+        long skippedTracks,
+        long storedCovers
+) {
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.demo.spotify.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -19,4 +20,8 @@ public class Track {
     private boolean isExplicit;
     private long playbackSeconds;
     private String coverImagePath;
+
+    // Bumped on every save; also serves as the ETag of the track's metadata representation.
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.demo.spotify.exception;
+
+public class CatalogSnapshotException extends RuntimeException {
+
+    public CatalogSnapshotException(String message) {
+        super(message);
+    }
+
+    public CatalogSnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -2,11 +2,8 @@ package com.demo.spotify.external;
 
 import com.demo.spotify.exception.SpotifyApiException;
 import com.demo.spotify.model.SpotifyApiModels.Album;
-import com.demo.spotify.model.SpotifyApiModels.SpotifyTrackResponse;
 import com.demo.spotify.model.SpotifyApiModels.TrackItem;
 import com.demo.spotify.model.SpotifyToken;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,12 +12,14 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.List;
 
 @Component
 public class SpotifyApiClient {
@@ -28,7 +27,7 @@ public class SpotifyApiClient {
     private static final Logger log = LoggerFactory.getLogger(SpotifyApiClient.class);
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper; // Add ObjectMapper
+    private final SpotifyResponseParser responseParser;
     private final String clientId;
     private final String clientSecret;
     private final String baseUrl;
@@ -36,16 +35,15 @@ public class SpotifyApiClient {
 
     private volatile SpotifyToken token;
 
-    // Inject ObjectMapper in the constructor
     public SpotifyApiClient(
             RestTemplate restTemplate,
-            ObjectMapper objectMapper,
+            SpotifyResponseParser responseParser,
             @Value("${spotify.api.client-id}") String clientId,
             @Value("${spotify.api.client-secret}") String clientSecret,
             @Value("${spotify.api.base-url}") String baseUrl,
             @Value("${spotify.api.token-url}") String tokenUrl) {
         this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
+        this.responseParser = responseParser;
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.baseUrl = baseUrl;
@@ -57,6 +55,7 @@ public class SpotifyApiClient {
     /**
      * This method is now more robust. It checks the response from Spotify before
      * attempting to map it, providing much clearer errors on failure.
+     * The body is read as a token stream, without building an intermediate JsonNode tree.
      */
     private SpotifyToken fetchNewAccessToken() {
         String encodedCredentials = Base64.getEncoder().encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8));
@@ -71,26 +70,16 @@ public class SpotifyApiClient {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
 
         try {
-            // Fetch as a generic JsonNode first to inspect the response
-            ResponseEntity<JsonNode> response = restTemplate.postForEntity(tokenUrl, request, JsonNode.class);
-
-            JsonNode responseBody = response.getBody();
-            if (response.getStatusCode().is2xxSuccessful() && responseBody != null) {
-                // Check for an error field, even in a 200 response
-                if (responseBody.has("error")) {
-                    String error = responseBody.get("error_description").asText("Unknown Spotify authentication error");
-                    throw new SpotifyApiException("Spotify returned an error: " + error);
-                }
-
-                // If no error, map JsonNode to our SpotifyToken object
-                SpotifyToken newToken = objectMapper.treeToValue(responseBody, SpotifyToken.class);
-                newToken.calculateExpiryTime();
-                log.info("Successfully fetched new Spotify access token.");
-                return newToken;
-            } else {
-                throw new SpotifyApiException("Failed to fetch access token. Status: " + response.getStatusCode());
+            // Non-2xx responses are rejected by the RestTemplate's error handler before the body is read.
+            SpotifyToken newToken = restTemplate.execute(tokenUrl, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(request),
+                    response -> responseParser.readToken(response.getBody()));
+            if (newToken == null) {
+                throw new SpotifyApiException("Failed to fetch access token; response was empty.");
             }
-        } catch (RestClientException | com.fasterxml.jackson.core.JsonProcessingException e) {
+            log.info("Successfully fetched new Spotify access token.");
+            return newToken;
+        } catch (RestClientException e) {
             log.error("Error during Spotify access token request: {}", e.getMessage());
             throw new SpotifyApiException("Could not fetch access token from Spotify.", e);
         }
@@ -101,18 +90,20 @@ public class SpotifyApiClient {
     @Cacheable("spotifyTracks")
     public TrackItem getTrackByIsrc(String isrc) {
         log.debug("Calling Spotify API for ISRC: {}", isrc);
+        // Only the first match is used, so ask Spotify for a single item.
         String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
                 .path("/search")
                 .queryParam("type", "track")
                 .queryParam("q", "isrc:" + isrc)
+                .queryParam("limit", 1)
                 .toUriString();
 
-        SpotifyTrackResponse response = makeApiCall(url, SpotifyTrackResponse.class);
+        TrackItem trackItem = makeApiCall(url, response -> responseParser.readFirstTrackItem(response.getBody()));
 
-        if (response == null || response.tracks() == null || response.tracks().items().isEmpty()) {
+        if (trackItem == null) {
             throw new SpotifyApiException("No track found on Spotify for ISRC: " + isrc);
         }
-        return response.tracks().items().get(0);
+        return trackItem;
     }
 
     @Cacheable("spotifyAlbums")
@@ -123,13 +114,22 @@ public class SpotifyApiClient {
     }
 
     private <T> T makeApiCall(String url, Class<T> responseType) {
+        ResponseEntity<T> response = makeApiCall(url, restTemplate.<T>responseEntityExtractor(responseType));
+        return response == null ? null : response.getBody();
+    }
+
+    /**
+     * Hands the raw response to the given extractor, so the body can be parsed as a stream
+     * instead of being bound as a whole.
+     */
+    private <T> T makeApiCall(String url, ResponseExtractor<T> responseExtractor) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(getAccessToken());
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, entity, responseType);
-            return response.getBody();
+            return restTemplate.execute(url, HttpMethod.GET, restTemplate.httpEntityCallback(entity), responseExtractor);
         } catch (RestClientException e) {
             log.error("Error calling Spotify API at URL [{}]: {}", url, e.getMessage());
             throw new SpotifyApiException("Failed to retrieve data from Spotify API.", e);
@@ -0,0 +1,105 @@
+package com.demo.spotify.external;
+
+import com.demo.spotify.exception.SpotifyApiException;
+import com.demo.spotify.model.SpotifyApiModels.TrackItem;
+import com.demo.spotify.model.SpotifyToken;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming readers for Spotify API responses. Instead of binding whole documents (or building
+ * a JsonNode tree), they walk the token stream, skip subtrees that aren't needed and stop as
+ * soon as the wanted value has been read.
+ */
+@Component
+public class SpotifyResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    public SpotifyResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the first track of a {@code /search?type=track} response, ignoring any further items.
+     * @param body The response body.
+     * @return The first track item, or null if the response contains no tracks.
+     */
+    public TrackItem readFirstTrackItem(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("tracks".equals(field)) {
+                    return value == JsonToken.START_OBJECT ? readFirstItem(parser) : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads an access token response from the Spotify accounts service.
+     * @param body The response body.
+     * @return The token, with its expiry time calculated.
+     * @throws SpotifyApiException if Spotify reported an error or returned no access token.
+     */
+    public SpotifyToken readToken(InputStream body) throws IOException {
+        SpotifyToken token = new SpotifyToken();
+        String error = null;
+        String errorDescription = null;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SpotifyApiException("Spotify returned an empty or malformed token response.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "access_token" -> token.setAccessToken(parser.getValueAsString());
+                    case "expires_in" -> token.setExpiresIn(parser.getValueAsLong());
+                    case "error" -> error = parser.getValueAsString();
+                    case "error_description" -> errorDescription = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        // Check for an error field, even in a 200 response
+        if (error != null) {
+            throw new SpotifyApiException("Spotify returned an error: "
+                    + (errorDescription != null ? errorDescription : "Unknown Spotify authentication error"));
+        }
+        if (token.getAccessToken() == null) {
+            throw new SpotifyApiException("Spotify token response did not contain an access token.");
+        }
+        token.calculateExpiryTime();
+        return token;
+    }
+
+    /** Positioned inside the 'tracks' paging object; binds only the first element of 'items'. */
+    private TrackItem readFirstItem(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("items".equals(field)) {
+                if (value != JsonToken.START_ARRAY || parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                return objectMapper.readValue(parser, TrackItem.class);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
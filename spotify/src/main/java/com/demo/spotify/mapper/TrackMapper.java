@@ -4,6 +4,7 @@ import com.demo.spotify.dto.TrackResponseDTO;
 import com.demo.spotify.entity.Track;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Component
 public class TrackMapper {
@@ -12,9 +13,20 @@ public class TrackMapper {
         if (track == null) {
             return null;
         }
+        return toDto(track, ServletUriComponentsBuilder.fromCurrentContextPath().toUriString());
+    }
+
+    /**
+     * Maps a track against an already resolved context URL, so callers that render
+     * outside of (or ahead of) the current request don't depend on request-bound state.
+     */
+    public TrackResponseDTO toDto(Track track, String contextUrl) {
+        if (track == null) {
+            return null;
+        }
 
-        String coverUrl = ServletUriComponentsBuilder
-                .fromCurrentContextPath()
+        String coverUrl = UriComponentsBuilder
+                .fromUriString(contextUrl)
                 .path("/api/v1/tracks/{isrc}/cover")
                 .buildAndExpand(track.getIsrc())
                 .toUriString();
@@ -29,4 +41,4 @@ public class TrackMapper {
                 coverUrl
         );
     }
-}
\ No newline at end of file
+}
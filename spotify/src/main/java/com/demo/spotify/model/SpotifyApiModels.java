@@ -3,7 +3,6 @@ package com.demo.spotify.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -17,23 +16,7 @@ public final class SpotifyApiModels {
     // Private constructor to prevent instantiation of the container class.
     private SpotifyApiModels() {}
 
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public record SpotifyTrackResponse(Tracks tracks) {
-        // Compact constructor for validation.
-        public SpotifyTrackResponse {
-            Objects.requireNonNull(tracks, "The 'tracks' field cannot be null.");
-        }
-    }
-
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    public record Tracks(List<TrackItem> items) {
-        public Tracks {
-            // Ensure the list is never null, making it safer for consumers.
-            if (items == null) {
-                items = Collections.emptyList();
-            }
-        }
-    }
+    // Search responses are read with SpotifyResponseParser, which binds only the first TrackItem.
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     public record TrackItem(
@@ -0,0 +1,54 @@
+package com.demo.spotify.service;
+
+import com.demo.spotify.dto.SnapshotImportResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line entry point for catalog snapshots, so a new node can be bootstrapped at startup:
+ * {@code --snapshot.import=<file>} loads a snapshot, {@code --snapshot.export=<file>} writes one.
+ */
+@Component
+public class CatalogSnapshotRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotRunner.class);
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final String importLocation;
+    private final String exportLocation;
+
+    public CatalogSnapshotRunner(
+            CatalogSnapshotService catalogSnapshotService,
+            @Value("${snapshot.import:}") String importLocation,
+            @Value("${snapshot.export:}") String exportLocation) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.importLocation = importLocation;
+        this.exportLocation = exportLocation;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!importLocation.isBlank()) {
+            log.info("Importing catalog snapshot from: {}", importLocation);
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(importLocation)))) {
+                SnapshotImportResponseDTO result = catalogSnapshotService.importSnapshot(in);
+                log.info("Catalog snapshot import finished: {}", result);
+            }
+        }
+        if (!exportLocation.isBlank()) {
+            log.info("Exporting catalog snapshot to: {}", exportLocation);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(exportLocation)))) {
+                long exported = catalogSnapshotService.exportSnapshot(out);
+                log.info("Catalog snapshot export finished: {} tracks", exported);
+            }
+        }
+    }
+}
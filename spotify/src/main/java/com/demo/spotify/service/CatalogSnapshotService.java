@@ -0,0 +1,475 @@
+package com.demo.spotify.service;
+
+import com.demo.spotify.dto.SnapshotImportResponseDTO;
+import com.demo.spotify.exception.CatalogSnapshotException;
+import com.demo.spotify.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.*;
+
+/**
+ * Exports the whole catalog (track rows plus cover images) into a compact binary snapshot, and
+ * bulk-loads such a snapshot into another instance without calling the Spotify API.
+ * <p>
+ * Layout: a plain header ({@code "SPTS"} magic, format version) followed by a deflate stream of
+ * track records, an end marker and the CRC32 of all records. Strings are length-prefixed UTF-8;
+ * artist and album values are dictionary-encoded, so repeated values are written once and then
+ * referenced by index.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private static final int MAGIC = 0x53505453; // "SPTS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECORD_END = 0;
+    private static final int RECORD_TRACK = 1;
+    private static final int FLAG_EXPLICIT = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int IMPORT_BATCH_SIZE = 200;
+    // Guards against allocating absurd buffers when reading a corrupt snapshot.
+    private static final int MAX_STRING_BYTES = 64 * 1024;
+    private static final int MAX_COVER_BYTES = 32 * 1024 * 1024;
+
+    // Covers are stored as <isrc><extension>; only the extension is taken from the snapshot.
+    private static final Pattern SAFE_ISRC = Pattern.compile("[A-Za-z0-9]+");
+    private static final Pattern COVER_EXTENSION = Pattern.compile("\\.[A-Za-z0-9]{1,10}$");
+    private static final String DEFAULT_COVER_EXTENSION = ".jpg";
+
+    private static final String SELECT_TRACKS =
+            "SELECT isrc, name, artist_name, album_name, album_id, is_explicit, playback_seconds, cover_image_path FROM track ORDER BY isrc";
+    private static final String SELECT_ISRCS = "SELECT isrc FROM track";
+    private static final String INSERT_TRACK =
+            "INSERT INTO track (isrc, name, artist_name, album_name, album_id, is_explicit, playback_seconds, cover_image_path, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    /** A track as stored in a snapshot; coverFileName and cover are null for tracks without a cover. */
+    private record SnapshotTrack(String isrc, String name, String artistName, String albumName, String albumId,
+                                 boolean explicit, long playbackSeconds, String coverFileName, byte[] cover) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageService storageService;
+
+    public CatalogSnapshotService(JdbcTemplate jdbcTemplate, StorageService storageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageService = storageService;
+    }
+
+    /**
+     * Writes a snapshot of all tracks and their cover images. Rows are streamed, so memory use
+     * doesn't grow with the size of the catalog. For large catalogs prefer {@code --snapshot.export},
+     * which writes straight to a local file instead of holding an HTTP connection open.
+     *
+     * @param out The stream to write to; it is flushed but not closed.
+     * @return The number of exported tracks.
+     */
+    public long exportSnapshot(OutputStream out) throws IOException {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeByte(FORMAT_VERSION);
+        header.flush();
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater, BUFFER_SIZE);
+            BufferedOutputStream buffered = new BufferedOutputStream(deflated, BUFFER_SIZE);
+            CRC32 crc = new CRC32();
+            SnapshotWriter writer = new SnapshotWriter(new DataOutputStream(new CheckedOutputStream(buffered, crc)));
+
+            long[] exported = {0};
+            jdbcTemplate.query(SELECT_TRACKS, (RowCallbackHandler) rs -> {
+                String coverPath = rs.getString("cover_image_path");
+                byte[] cover = readCover(rs.getString("isrc"), coverPath);
+                SnapshotTrack track = new SnapshotTrack(
+                        rs.getString("isrc"),
+                        rs.getString("name"),
+                        rs.getString("artist_name"),
+                        rs.getString("album_name"),
+                        rs.getString("album_id"),
+                        rs.getBoolean("is_explicit"),
+                        rs.getLong("playback_seconds"),
+                        cover == null ? null : Paths.get(coverPath).getFileName().toString(),
+                        cover);
+                try {
+                    writer.writeTrack(track);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exported[0]++;
+            });
+            writer.writeEnd();
+
+            // The checksum trails the records inside the compressed stream, outside of what it covers.
+            new DataOutputStream(buffered).writeLong(crc.getValue());
+            buffered.flush();
+            deflated.finish();
+            out.flush();
+
+            log.info("Exported catalog snapshot with {} tracks.", exported[0]);
+            return exported[0];
+        } catch (UncheckedIOException e) {
+            // Keep the message, which names the track whose cover couldn't be read.
+            throw new IOException(e.getMessage(), e.getCause());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Bulk-loads a snapshot with batched JDBC inserts, writing cover images in parallel through the
+     * {@link StorageService}. Tracks that already exist are skipped. The load runs in one transaction,
+     * so a truncated snapshot or a checksum mismatch leaves the catalog unchanged: the rows are rolled
+     * back, and the cover files written by the import are deleted once the rollback completes.
+     * Covers are named after the imported ISRC, so an import never replaces the cover of an existing track.
+     *
+     * @param in The stream to read from; it is not closed.
+     * @return A summary of the import.
+     * @throws CatalogSnapshotException if the input is not a valid snapshot.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public SnapshotImportResponseDTO importSnapshot(InputStream in) throws IOException {
+        // DataInputStream doesn't read ahead, so the compressed payload starts right after the header.
+        DataInputStream header = new DataInputStream(in);
+        try {
+            if (header.readInt() != MAGIC) {
+                throw new CatalogSnapshotException("Input is not a catalog snapshot.");
+            }
+            int version = header.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new CatalogSnapshotException("Unsupported catalog snapshot version: " + version);
+            }
+        } catch (EOFException e) {
+            throw new CatalogSnapshotException("Catalog snapshot is truncated.", e);
+        }
+
+        Inflater inflater = new Inflater();
+        ExecutorService coverWriters = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(new InflaterInputStream(in, inflater, BUFFER_SIZE), BUFFER_SIZE);
+            CRC32 crc = new CRC32();
+            SnapshotReader reader = new SnapshotReader(new DataInputStream(new CheckedInputStream(buffered, crc)));
+
+            List<String> storedCovers = new ArrayList<>();
+            deleteCoversOnRollback(storedCovers);
+
+            Set<String> existingIsrcs = new HashSet<>(jdbcTemplate.queryForList(SELECT_ISRCS, String.class));
+            List<SnapshotTrack> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            long imported = 0;
+            long skipped = 0;
+            long covers = 0;
+
+            SnapshotTrack track;
+            while ((track = reader.readTrack()) != null) {
+                if (!existingIsrcs.add(track.isrc())) {
+                    skipped++;
+                    continue;
+                }
+                batch.add(track);
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    covers += insertBatch(batch, coverWriters, storedCovers);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+            covers += insertBatch(batch, coverWriters, storedCovers);
+            imported += batch.size();
+
+            if (new DataInputStream(buffered).readLong() != crc.getValue()) {
+                throw new CatalogSnapshotException("Catalog snapshot checksum mismatch.");
+            }
+
+            log.info("Imported catalog snapshot: {} tracks loaded, {} already present, {} covers stored.", imported, skipped, covers);
+            return new SnapshotImportResponseDTO(imported, skipped, covers);
+        } catch (EOFException | ZipException e) {
+            throw new CatalogSnapshotException("Catalog snapshot is truncated or corrupt.", e);
+        } finally {
+            coverWriters.shutdownNow();
+            inflater.end();
+        }
+    }
+
+    /**
+     * Stores the batch's covers in parallel, then inserts its rows in a single JDBC batch.
+     * Every cover write is awaited, even after one fails, so that storedCovers lists all files on disk.
+     * @param storedCovers Collects the paths of the stored covers.
+     * @return The number of stored covers.
+     */
+    private int insertBatch(List<SnapshotTrack> batch, ExecutorService coverWriters, List<String> storedCovers) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Name every cover before submitting any write, so an invalid record can't leave writes behind.
+        List<String> fileNames = new ArrayList<>(batch.size());
+        for (SnapshotTrack track : batch) {
+            fileNames.add(track.cover() == null ? null : coverFileName(track));
+        }
+
+        List<Future<String>> coverPaths = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            SnapshotTrack track = batch.get(i);
+            String fileName = fileNames.get(i);
+            coverPaths.add(fileName == null ? null : coverWriters.submit(() -> storageService.storeFile(track.cover(), fileName)));
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        RuntimeException failure = null;
+        int covers = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            SnapshotTrack track = batch.get(i);
+            String coverPath = null;
+            if (coverPaths.get(i) != null) {
+                try {
+                    coverPath = awaitCoverPath(coverPaths.get(i));
+                    storedCovers.add(coverPath);
+                    covers++;
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            rows.add(new Object[]{track.isrc(), track.name(), track.artistName(), track.albumName(), track.albumId(),
+                    track.explicit(), track.playbackSeconds(), coverPath});
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TRACK, rows);
+        log.debug("Inserted batch of {} tracks from catalog snapshot.", rows.size());
+        return covers;
+    }
+
+    /** Names the cover after the ISRC being imported, like covers fetched from Spotify. */
+    private static String coverFileName(SnapshotTrack track) {
+        if (!SAFE_ISRC.matcher(track.isrc()).matches()) {
+            throw new CatalogSnapshotException("Catalog snapshot contains an invalid ISRC: " + track.isrc());
+        }
+        Matcher extension = COVER_EXTENSION.matcher(track.coverFileName());
+        return track.isrc() + (extension.find() ? extension.group() : DEFAULT_COVER_EXTENSION);
+    }
+
+    private String awaitCoverPath(Future<String> coverPath) {
+        try {
+            return coverPath.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while storing cover images.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not store cover image.", e.getCause());
+        }
+    }
+
+    /**
+     * Storage isn't part of the transaction, so the covers a failed import wrote are deleted after the
+     * rollback. This also covers a failure at commit, after importSnapshot has returned.
+     */
+    private void deleteCoversOnRollback(List<String> storedCovers) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (String coverPath : storedCovers) {
+                    try {
+                        storageService.deleteFile(coverPath);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not delete cover '{}' after a failed snapshot import: {}", coverPath, e.getMessage());
+                    }
+                }
+                log.info("Deleted {} cover images written by the failed snapshot import.", storedCovers.size());
+            }
+        });
+    }
+
+    private byte[] readCover(String isrc, String coverPath) {
+        if (coverPath == null || coverPath.isBlank()) {
+            return null;
+        }
+        try (InputStream cover = storageService.loadFileAsResource(coverPath).resource().getInputStream()) {
+            return cover.readAllBytes();
+        } catch (ResourceNotFoundException e) {
+            log.warn("Cover image for ISRC '{}' is missing; exporting the track without it.", isrc);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read cover image for ISRC: " + isrc, e);
+        }
+    }
+
+    /** Writes snapshot records, keeping the dictionary of artist and album values seen so far. */
+    private static final class SnapshotWriter {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        SnapshotWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeTrack(SnapshotTrack track) throws IOException {
+            out.writeByte(RECORD_TRACK);
+            writeString(track.isrc());
+            writeString(track.name());
+            writeDictionaryString(track.artistName());
+            writeDictionaryString(track.albumName());
+            writeDictionaryString(track.albumId());
+            out.writeByte(track.explicit() ? FLAG_EXPLICIT : 0);
+            writeVarLong(track.playbackSeconds());
+            writeString(track.coverFileName());
+            if (track.cover() != null) {
+                writeVarLong(track.cover().length);
+                out.write(track.cover());
+            }
+        }
+
+        void writeEnd() throws IOException {
+            out.writeByte(RECORD_END);
+            out.flush();
+        }
+
+        /** Writes 0 followed by the literal on first use, and index + 1 afterwards. */
+        private void writeDictionaryString(String value) throws IOException {
+            Integer index = value == null ? null : dictionary.get(value);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            writeVarLong(0);
+            writeString(value);
+            if (value != null) {
+                dictionary.put(value, dictionary.size());
+            }
+        }
+
+        /** Writes the UTF-8 length + 1 (0 for null) followed by the bytes. */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            out.write(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    /** Reads snapshot records, rebuilding the dictionary in the order the writer assigned it. */
+    private static final class SnapshotReader {
+
+        private final DataInputStream in;
+        private final List<String> dictionary = new ArrayList<>();
+
+        SnapshotReader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /** @return The next track, or null once the end marker is reached. */
+        SnapshotTrack readTrack() throws IOException {
+            int recordType = in.readUnsignedByte();
+            if (recordType == RECORD_END) {
+                return null;
+            }
+            if (recordType != RECORD_TRACK) {
+                throw new CatalogSnapshotException("Unknown record type in catalog snapshot: " + recordType);
+            }
+
+            String isrc = readString();
+            if (isrc == null) {
+                throw new CatalogSnapshotException("Catalog snapshot contains a track without an ISRC.");
+            }
+            String name = readString();
+            String artistName = readDictionaryString();
+            String albumName = readDictionaryString();
+            String albumId = readDictionaryString();
+            boolean explicit = (in.readUnsignedByte() & FLAG_EXPLICIT) != 0;
+            long playbackSeconds = readVarLong();
+            String coverFileName = readString();
+            byte[] cover = null;
+            if (coverFileName != null) {
+                cover = new byte[readLength(MAX_COVER_BYTES)];
+                in.readFully(cover);
+            }
+            return new SnapshotTrack(isrc, name, artistName, albumName, albumId, explicit, playbackSeconds, coverFileName, cover);
+        }
+
+        private String readDictionaryString() throws IOException {
+            long reference = readVarLong();
+            if (reference == 0) {
+                String value = readString();
+                if (value != null) {
+                    dictionary.add(value);
+                }
+                return value;
+            }
+            if (reference < 0 || reference > dictionary.size()) {
+                throw new CatalogSnapshotException("Catalog snapshot references unknown dictionary entry: " + reference);
+            }
+            return dictionary.get((int) reference - 1);
+        }
+
+        private String readString() throws IOException {
+            long encodedLength = readVarLong();
+            if (encodedLength == 0) {
+                return null;
+            }
+            if (encodedLength < 0 || encodedLength - 1 > MAX_STRING_BYTES) {
+                throw new CatalogSnapshotException("Catalog snapshot string exceeds " + MAX_STRING_BYTES + " bytes.");
+            }
+            byte[] bytes = new byte[(int) encodedLength - 1];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readLength(int max) throws IOException {
+            long length = readVarLong();
+            if (length < 0 || length > max) {
+                throw new CatalogSnapshotException("Catalog snapshot entry exceeds " + max + " bytes.");
+            }
+            return (int) length;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new CatalogSnapshotException("Malformed variable-length number in catalog snapshot.");
+        }
+    }
+}
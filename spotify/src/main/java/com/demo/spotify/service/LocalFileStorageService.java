@@ -22,18 +22,14 @@ public class LocalFileStorageService implements StorageService {
     private static final Logger log = LoggerFactory.getLogger(LocalFileStorageService.class);
 
     private final Path rootLocation;
+    private volatile boolean rootLocationCreated;
 
     public LocalFileStorageService(@Value("${storage.location}") String storageLocation) {
         if (storageLocation.isBlank()) {
             throw new FileStorageException("File upload location cannot be empty.");
         }
+        // The directory is created on first write rather than here, to keep I/O out of startup.
         this.rootLocation = Paths.get(storageLocation);
-        try {
-            Files.createDirectories(rootLocation);
-            log.info("Storage directory initialized at: {}", rootLocation.toAbsolutePath());
-        } catch (IOException e) {
-            throw new FileStorageException("Could not initialize storage location: " + storageLocation, e);
-        }
     }
 
     @Override
@@ -81,6 +77,7 @@ public class LocalFileStorageService implements StorageService {
                 throw new FileStorageException("Cannot store file outside the main storage directory.");
             }
 
+            ensureRootLocationExists();
             Files.write(targetLocation, fileBytes);
             log.info("Successfully stored file at: {}", targetLocation);
             return targetLocation.toAbsolutePath().toString();
@@ -89,4 +86,32 @@ public class LocalFileStorageService implements StorageService {
             throw new FileStorageException("Could not store file " + fileName + ". Please try again!", ex);
         }
     }
+
+    @Override
+    public void deleteFile(String filePathString) {
+        try {
+            Path filePath = Paths.get(filePathString);
+            if (!filePath.toAbsolutePath().getParent().equals(this.rootLocation.toAbsolutePath())) {
+                throw new FileStorageException("Cannot delete file outside the main storage directory.");
+            }
+            if (Files.deleteIfExists(filePath)) {
+                log.info("Deleted file at: {}", filePath);
+            }
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not delete file " + filePathString, ex);
+        }
+    }
+
+    /** Creates the storage directory once, on the first write. */
+    private void ensureRootLocationExists() throws IOException {
+        if (!rootLocationCreated) {
+            synchronized (this) {
+                if (!rootLocationCreated) {
+                    Files.createDirectories(rootLocation);
+                    log.info("Storage directory initialized at: {}", rootLocation.toAbsolutePath());
+                    rootLocationCreated = true;
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
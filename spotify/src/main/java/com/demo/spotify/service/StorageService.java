@@ -22,4 +22,10 @@ public interface StorageService {
      */
     StoredFile loadFileAsResource(String filePathString);
 
+    /**
+     * Deletes a stored file, if it exists.
+     * @param filePathString The full path to the file, as returned by {@link #storeFile(byte[], String)}.
+     */
+    void deleteFile(String filePathString);
+
 }
\ No newline at end of file
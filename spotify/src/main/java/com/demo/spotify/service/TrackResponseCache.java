@@ -0,0 +1,187 @@
+package com.demo.spotify.service;
+
+import com.demo.spotify.entity.Track;
+import com.demo.spotify.mapper.TrackMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the serialized JSON of each track's metadata, keyed by ISRC, so hot reads skip
+ * the database, the mapper and Jackson entirely. Entries are invalidated whenever a track is saved,
+ * and the cache is bounded by the total size of the cached JSON (least recently used entries go first).
+ */
+@Component
+public class TrackResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TrackResponseCache.class);
+
+    /**
+     * A rendered track representation, along with the request origin its cover link was rendered against.
+     * @param etag The quoted entity tag, derived from the entity version and the JSON content.
+     * @param json The UTF-8 encoded JSON object.
+     */
+    public record CachedTrackResponse(String etag, byte[] json, String scheme, String host, int port, String contextPath) {
+
+        // Cover links are absolute, so an entry is only reusable for requests with the same origin.
+        boolean matches(HttpServletRequest request) {
+            return port == request.getServerPort()
+                    && host.equals(request.getServerName())
+                    && scheme.equals(request.getScheme())
+                    && contextPath.equals(request.getContextPath());
+        }
+    }
+
+    private final Cache<String, CachedTrackResponse> entries;
+    private final TrackMapper trackMapper;
+    private final ObjectMapper objectMapper;
+
+    public TrackResponseCache(
+            TrackMapper trackMapper,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.track-responses.max-bytes}") long maxBytes) {
+        this.trackMapper = trackMapper;
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String isrc, CachedTrackResponse cached) -> cached.json().length)
+                .build();
+    }
+
+    /**
+     * Returns the cached representation of a track, rendering and caching it on a miss.
+     *
+     * @param isrc The ISRC of the track.
+     * @param request The current request, whose origin is used for the cover link.
+     * @param loader Loads the track on a cache miss.
+     * @return The cached representation.
+     */
+    public CachedTrackResponse get(String isrc, HttpServletRequest request, Function<String, Track> loader) {
+        CachedTrackResponse cached = lookup(isrc, request);
+        if (cached != null) {
+            return cached;
+        }
+        log.debug("Response cache miss for ISRC: {}", isrc);
+        return render(loader.apply(isrc), request);
+    }
+
+    /**
+     * Assembles a JSON array from the cached representations of the given tracks, in request order.
+     * Misses are loaded with a single call to the loader; ISRCs it doesn't return are left out.
+     *
+     * @param isrcs The ISRCs of the tracks.
+     * @param request The current request, whose origin is used for the cover links.
+     * @param loader Loads all missing tracks at once.
+     * @return The UTF-8 encoded JSON array.
+     */
+    public byte[] getJsonArray(List<String> isrcs, HttpServletRequest request, Function<Collection<String>, List<Track>> loader) {
+        CachedTrackResponse[] fragments = new CachedTrackResponse[isrcs.size()];
+        List<String> misses = new ArrayList<>();
+        for (int i = 0; i < fragments.length; i++) {
+            fragments[i] = lookup(isrcs.get(i), request);
+            if (fragments[i] == null) {
+                misses.add(isrcs.get(i));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Response cache missed {} of {} ISRCs in batch request", misses.size(), fragments.length);
+            Map<String, CachedTrackResponse> loaded = new HashMap<>();
+            for (Track track : loader.apply(misses)) {
+                loaded.put(track.getIsrc(), render(track, request));
+            }
+            for (int i = 0; i < fragments.length; i++) {
+                if (fragments[i] == null) {
+                    fragments[i] = loaded.get(isrcs.get(i));
+                }
+            }
+        }
+
+        // Size the output exactly: brackets, separators and the fragments themselves.
+        int size = 2;
+        int count = 0;
+        for (CachedTrackResponse fragment : fragments) {
+            if (fragment != null) {
+                size += fragment.json().length + (count++ > 0 ? 1 : 0);
+            }
+        }
+
+        byte[] json = new byte[size];
+        int position = 0;
+        json[position++] = '[';
+        for (CachedTrackResponse fragment : fragments) {
+            if (fragment == null) {
+                continue;
+            }
+            if (position > 1) {
+                json[position++] = ',';
+            }
+            System.arraycopy(fragment.json(), 0, json, position, fragment.json().length);
+            position += fragment.json().length;
+        }
+        json[position] = ']';
+        return json;
+    }
+
+    /**
+     * Drops the cached representation of a track. When called inside a transaction the entry is
+     * dropped again after commit, so a concurrent read of the old row can't re-populate it.
+     *
+     * @param isrc The ISRC of the track that changed.
+     */
+    public void evict(String isrc) {
+        entries.invalidate(isrc);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.invalidate(isrc);
+                }
+            });
+        }
+    }
+
+    private CachedTrackResponse lookup(String isrc, HttpServletRequest request) {
+        CachedTrackResponse cached = entries.getIfPresent(isrc);
+        if (cached != null && cached.matches(request)) {
+            return cached;
+        }
+        return null;
+    }
+
+    private CachedTrackResponse render(Track track, HttpServletRequest request) {
+        try {
+            String contextUrl = ServletUriComponentsBuilder.fromContextPath(request).toUriString();
+            byte[] json = objectMapper.writeValueAsBytes(trackMapper.toDto(track, contextUrl));
+
+            // The version alone repeats when a row is re-created, so the content hash is part of the tag.
+            CRC32 crc = new CRC32();
+            crc.update(json);
+            String etag = "\"" + (track.getVersion() == null ? 0 : track.getVersion()) + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+            CachedTrackResponse cached = new CachedTrackResponse(etag, json,
+                    request.getScheme(), request.getServerName(), request.getServerPort(), request.getContextPath());
+            entries.put(track.getIsrc(), cached);
+            return cached;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize track with ISRC: " + track.getIsrc(), e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class TrackService {
@@ -16,10 +18,12 @@ public class TrackService {
 
     private final TrackRepository trackRepository;
     private final SpotifyService spotifyService;
+    private final TrackResponseCache trackResponseCache;
 
-    public TrackService(TrackRepository trackRepository, SpotifyService spotifyService) {
+    public TrackService(TrackRepository trackRepository, SpotifyService spotifyService, TrackResponseCache trackResponseCache) {
         this.trackRepository = trackRepository;
         this.spotifyService = spotifyService;
+        this.trackResponseCache = trackResponseCache;
     }
 
     /**
@@ -38,6 +42,17 @@ public class TrackService {
                 });
     }
 
+    /**
+     * Retrieves all known tracks for the given ISRCs in a single query.
+     *
+     * @param isrcs The ISRCs of the tracks.
+     * @return The Track entities that exist; unknown ISRCs are skipped.
+     */
+    public List<Track> getTracksByIsrcs(Collection<String> isrcs) {
+        log.debug("Attempting to find {} tracks by ISRC", isrcs.size());
+        return trackRepository.findAllById(isrcs);
+    }
+
     /**
      * Creates a new track by fetching its data from an external service if it doesn't already exist.
      * The operation is transactional to ensure data consistency.
@@ -66,6 +81,8 @@ public class TrackService {
         newTrack.setCoverImagePath(coverImagePath);
 
         log.info("Saving new track with ISRC '{}' to the database.", isrc);
-        return trackRepository.save(newTrack);
+        Track savedTrack = trackRepository.save(newTrack);
+        trackResponseCache.evict(isrc);
+        return savedTrack;
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS track (
+    isrc VARCHAR(255) NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    artist_name VARCHAR(255),
+    album_name VARCHAR(255),
+    album_id VARCHAR(255),
+    is_explicit BOOLEAN NOT NULL,
+    playback_seconds BIGINT NOT NULL,
+    cover_image_path VARCHAR(255),
+    version BIGINT
+);
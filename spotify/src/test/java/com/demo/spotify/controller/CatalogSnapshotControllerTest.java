@@ -0,0 +1,52 @@
+package com.demo.spotify.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void snapshotEndpointsRequireAdminRole() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/catalog-snapshot").header(HttpHeaders.AUTHORIZATION, basic("user", "password")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/v1/admin/catalog-snapshot")
+                        .header(HttpHeaders.AUTHORIZATION, basic("user", "password"))
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanExportSnapshot() throws Exception {
+        byte[] snapshot = mockMvc.perform(get("/api/v1/admin/catalog-snapshot").header(HttpHeaders.AUTHORIZATION, basic("admin", "admin-password")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new String(snapshot, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("SPTS");
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,157 @@
+package com.demo.spotify.controller;
+
+import com.demo.spotify.entity.Track;
+import com.demo.spotify.repository.TrackRepository;
+import com.demo.spotify.service.SpotifyService;
+import com.demo.spotify.service.TrackService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TrackControllerTest {
+
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    @Autowired
+    private TrackService trackService;
+
+    @MockitoBean
+    private SpotifyService spotifyService;
+
+    @AfterEach
+    void tearDown() {
+        trackRepository.deleteAll();
+    }
+
+    @Test
+    void getTrackMetadataReturnsJsonWithETag() throws Exception {
+        trackRepository.save(track("USAAA0000001", "First Song"));
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000001")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.isrc").value("USAAA0000001"))
+                .andExpect(jsonPath("$.name").value("First Song"))
+                .andExpect(jsonPath("$.coverImageUrl").value("http://localhost/api/v1/tracks/USAAA0000001/cover"));
+    }
+
+    @Test
+    void getTrackMetadataReturnsNotModifiedForMatchingETag() throws Exception {
+        trackRepository.save(track("USAAA0000002", "Second Song"));
+
+        String etag = mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000002")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000002")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getTracksMetadataKeepsRequestOrderAndSkipsUnknownIsrcs() throws Exception {
+        trackRepository.save(track("USAAA0000003", "Third Song"));
+        trackRepository.save(track("USAAA0000004", "Fourth Song"));
+
+        // Warm one entry so the response mixes cached fragments and freshly loaded ones.
+        mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000004"))).andExpect(status().isOk());
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks"))
+                        .param("isrcs", "USAAA0000004", "USZZZ9999999", "USAAA0000003"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].isrc").value("USAAA0000004"))
+                .andExpect(jsonPath("$[1].isrc").value("USAAA0000003"));
+    }
+
+    @Test
+    void getTracksMetadataReturnsValidJsonForZeroAndOneHits() throws Exception {
+        trackRepository.save(track("USAAA0000005", "Fifth Song"));
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks")).param("isrcs", "USZZZ9999998"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks")).param("isrcs", "USAAA0000005"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Fifth Song"));
+    }
+
+    @Test
+    void getTracksMetadataRejectsInvalidRequests() throws Exception {
+        mockMvc.perform(authenticated(get("/api/v1/tracks")))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks")).param("isrcs", ""))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks")).param("isrcs", "not-an-isrc"))
+                .andExpect(status().isBadRequest());
+
+        String[] tooMany = new String[101];
+        for (int i = 0; i < tooMany.length; i++) {
+            tooMany[i] = String.format("USAAA%07d", i);
+        }
+        mockMvc.perform(authenticated(get("/api/v1/tracks")).param("isrcs", tooMany))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTrackEvictsCachedResponse() throws Exception {
+        trackRepository.save(track("USAAA0000006", "Old Name"));
+        mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000006")))
+                .andExpect(jsonPath("$.name").value("Old Name"));
+
+        // Re-ingest the track: the row is gone, so createTrack fetches and saves it again.
+        trackRepository.deleteAll();
+        when(spotifyService.fetchTrackMetadata("USAAA0000006")).thenReturn(track("USAAA0000006", "New Name"));
+        when(spotifyService.fetchAndStoreCoverImage(anyString(), eq("USAAA0000006"))).thenReturn("/covers/USAAA0000006.jpg");
+        trackService.createTrack("USAAA0000006");
+
+        mockMvc.perform(authenticated(get("/api/v1/tracks/USAAA0000006")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("New Name"));
+    }
+
+    private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, AUTHORIZATION);
+    }
+
+    private static Track track(String isrc, String name) {
+        Track track = new Track();
+        track.setIsrc(isrc);
+        track.setName(name);
+        track.setArtistName("Artist");
+        track.setAlbumName("Album");
+        track.setAlbumId("album-id");
+        track.setPlaybackSeconds(180);
+        track.setCoverImagePath("/covers/" + isrc + ".jpg");
+        return track;
+    }
+}
@@ -0,0 +1,110 @@
+package com.demo.spotify.external;
+
+import com.demo.spotify.model.SpotifyApiModels.TrackItem;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous way of reading a Spotify search response (binding the full default page)
+ * with the streaming parser, on the full page and on the single-item page requested with limit=1.
+ * Run {@link #main(String[])}; the GC profiler reports allocated bytes per operation (gc.alloc.rate.norm).
+ * <p>
+ * Results on JDK 17.0.9, single core (timings are noisy on this machine, allocation is stable):
+ * <pre>
+ * Benchmark              avgt (us/op)       gc.alloc.rate.norm (B/op)
+ * bindFullPage           205.3 +- 155.0     26096
+ * streamFullPage          10.5 +-   4.8      2304
+ * streamSingleItemPage     8.9 +-   3.0      2304
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpotifyResponseParserBenchmark {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    // The page wrappers the client used to bind the whole search response into; kept here as the baseline.
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SpotifyTrackResponse(Tracks tracks) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Tracks(List<TrackItem> items) {}
+
+    private ObjectMapper objectMapper;
+    private SpotifyResponseParser responseParser;
+    private byte[] fullPage;
+    private byte[] singleItemPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        responseParser = new SpotifyResponseParser(objectMapper);
+        fullPage = searchResponse(DEFAULT_PAGE_SIZE);
+        singleItemPage = searchResponse(1);
+    }
+
+    @Benchmark
+    public TrackItem bindFullPage() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(fullPage), SpotifyTrackResponse.class).tracks().items().get(0);
+    }
+
+    @Benchmark
+    public TrackItem streamFullPage() throws IOException {
+        return responseParser.readFirstTrackItem(new ByteArrayInputStream(fullPage));
+    }
+
+    @Benchmark
+    public TrackItem streamSingleItemPage() throws IOException {
+        return responseParser.readFirstTrackItem(new ByteArrayInputStream(singleItemPage));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SpotifyResponseParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /** Builds a search response shaped like Spotify's, including the bulky 'available_markets' arrays. */
+    private static byte[] searchResponse(int items) {
+        StringBuilder markets = new StringBuilder("[");
+        for (int i = 0; i < 185; i++) {
+            markets.append(i > 0 ? "," : "").append('"').append((char) ('A' + i / 26 % 26)).append((char) ('A' + i % 26)).append('"');
+        }
+        markets.append(']');
+
+        StringBuilder json = new StringBuilder("{\"tracks\":{\"href\":\"https://api.spotify.com/v1/search?query=isrc%3AUSUM71703861&type=track\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"album\":{\"album_type\":\"album\",\"artists\":[{\"id\":\"artist").append(i).append("\",\"name\":\"Artist ").append(i).append("\",\"type\":\"artist\"}],")
+                    .append("\"available_markets\":").append(markets).append(',')
+                    .append("\"id\":\"album").append(i).append("\",\"images\":[")
+                    .append("{\"height\":640,\"url\":\"https://i.scdn.co/image/large").append(i).append("\",\"width\":640},")
+                    .append("{\"height\":300,\"url\":\"https://i.scdn.co/image/medium").append(i).append("\",\"width\":300},")
+                    .append("{\"height\":64,\"url\":\"https://i.scdn.co/image/small").append(i).append("\",\"width\":64}],")
+                    .append("\"name\":\"Album ").append(i).append("\",\"release_date\":\"2017-01-01\",\"total_tracks\":12,\"type\":\"album\"},")
+                    .append("\"artists\":[{\"id\":\"artist").append(i).append("\",\"name\":\"Artist ").append(i).append("\",\"type\":\"artist\"}],")
+                    .append("\"available_markets\":").append(markets).append(',')
+                    .append("\"disc_number\":1,\"duration_ms\":").append(200000 + i).append(",\"explicit\":false,")
+                    .append("\"external_ids\":{\"isrc\":\"USUM71703861\"},\"id\":\"track").append(i).append("\",")
+                    .append("\"name\":\"Track ").append(i).append("\",\"popularity\":70,\"track_number\":1,\"type\":\"track\"}");
+        }
+        json.append("],\"limit\":").append(items).append(",\"next\":null,\"offset\":0,\"previous\":null,\"total\":").append(items).append("}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
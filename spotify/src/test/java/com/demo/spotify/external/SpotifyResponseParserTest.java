@@ -0,0 +1,86 @@
+package com.demo.spotify.external;
+
+import com.demo.spotify.exception.SpotifyApiException;
+import com.demo.spotify.model.SpotifyApiModels.TrackItem;
+import com.demo.spotify.model.SpotifyToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpotifyResponseParserTest {
+
+    private static final String ITEM = """
+            {"album":{"id":"album-1","name":"Album","images":[{"url":"https://i.scdn.co/image/1"}],"available_markets":["DE","US"]},
+             "artists":[{"name":"Artist"}],"available_markets":["DE","US"],"duration_ms":215000,"explicit":true,"name":"Song"}""";
+
+    private final SpotifyResponseParser parser = new SpotifyResponseParser(new ObjectMapper());
+
+    @Test
+    void readsFirstTrackWhenTracksIsNotTheFirstField() throws IOException {
+        TrackItem item = parser.readFirstTrackItem(json("""
+                {"albums":{"items":[{"id":"x","nested":[1,2,{"a":null}]}]},"href":"h",
+                 "tracks":{"href":"h","items":[%s,{"name":"Second","album":{"id":"a","name":"b"}}],"total":2}}""".formatted(ITEM)));
+
+        assertThat(item).isNotNull();
+        assertThat(item.name()).isEqualTo("Song");
+        assertThat(item.explicit()).isTrue();
+        assertThat(item.durationMs()).isEqualTo(215000);
+        assertThat(item.album().id()).isEqualTo("album-1");
+        assertThat(item.primaryArtistName()).contains("Artist");
+    }
+
+    @Test
+    void returnsNullWhenItemsAreMissingOrEmpty() throws IOException {
+        assertThat(parser.readFirstTrackItem(json("{\"tracks\":{\"href\":\"h\",\"total\":0}}"))).isNull();
+        assertThat(parser.readFirstTrackItem(json("{\"tracks\":{\"items\":[],\"total\":0}}"))).isNull();
+        assertThat(parser.readFirstTrackItem(json("{\"tracks\":{\"items\":null}}"))).isNull();
+    }
+
+    @Test
+    void returnsNullWhenTracksIsNullOrAbsent() throws IOException {
+        assertThat(parser.readFirstTrackItem(json("{\"tracks\":null}"))).isNull();
+        assertThat(parser.readFirstTrackItem(json("{\"albums\":{}}"))).isNull();
+        assertThat(parser.readFirstTrackItem(json(""))).isNull();
+    }
+
+    @Test
+    void readsTokenAndCalculatesExpiry() throws IOException {
+        SpotifyToken token = parser.readToken(json("{\"token_type\":\"Bearer\",\"access_token\":\"abc\",\"expires_in\":3600,\"scope\":{}}"));
+
+        assertThat(token.getAccessToken()).isEqualTo("abc");
+        assertThat(token.getExpiresIn()).isEqualTo(3600);
+        assertThat(token.isExpired()).isFalse();
+    }
+
+    @Test
+    void rejectsTokenResponseWithErrorButNoDescription() {
+        assertThatThrownBy(() -> parser.readToken(json("{\"error\":\"invalid_client\"}")))
+                .isInstanceOf(SpotifyApiException.class)
+                .hasMessage("Spotify returned an error: Unknown Spotify authentication error");
+    }
+
+    @Test
+    void rejectsTokenResponseWithErrorDescription() {
+        assertThatThrownBy(() -> parser.readToken(json("{\"error\":\"invalid_client\",\"error_description\":\"Invalid client secret\"}")))
+                .isInstanceOf(SpotifyApiException.class)
+                .hasMessage("Spotify returned an error: Invalid client secret");
+    }
+
+    @Test
+    void rejectsTokenResponseWithoutAccessToken() {
+        assertThatThrownBy(() -> parser.readToken(json("{\"token_type\":\"Bearer\",\"expires_in\":3600}")))
+                .isInstanceOf(SpotifyApiException.class)
+                .hasMessageContaining("did not contain an access token");
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
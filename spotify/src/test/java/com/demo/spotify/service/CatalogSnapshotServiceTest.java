@@ -0,0 +1,317 @@
+package com.demo.spotify.service;
+
+import com.demo.spotify.dto.SnapshotImportResponseDTO;
+import com.demo.spotify.entity.Track;
+import com.demo.spotify.exception.CatalogSnapshotException;
+import com.demo.spotify.repository.TrackRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CatalogSnapshotServiceTest {
+
+    private static final Path STORAGE_LOCATION = createStorageLocation();
+
+    // Enough tracks for several import batches, so failures happen after rows were already inserted.
+    private static final int LARGE_CATALOG_SIZE = 450;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    @Autowired
+    private StorageService storageService;
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.location", STORAGE_LOCATION::toString);
+    }
+
+    @AfterEach
+    void tearDown() {
+        trackRepository.deleteAll();
+    }
+
+    @Test
+    void roundTripRestoresTracksAndCovers() throws IOException {
+        byte[] cover = randomBytes(1, 2048);
+        saveTrack("USSNP0000001", "Song One", "Shared Artist", "Shared Album", true, cover);
+        saveTrack("USSNP0000002", "Song Two", null, null, false, null);
+        saveTrack("USSNP0000003", "Song Three", "Shared Artist", "Shared Album", false, null);
+
+        byte[] snapshot = export();
+        trackRepository.deleteAll();
+        SnapshotImportResponseDTO result = importSnapshot(snapshot);
+
+        assertThat(result).isEqualTo(new SnapshotImportResponseDTO(3, 0, 1));
+
+        Track first = trackRepository.findByIsrc("USSNP0000001").orElseThrow();
+        assertThat(first.getName()).isEqualTo("Song One");
+        assertThat(first.getArtistName()).isEqualTo("Shared Artist");
+        assertThat(first.getAlbumName()).isEqualTo("Shared Album");
+        assertThat(first.getAlbumId()).isEqualTo("album-Shared Album");
+        assertThat(first.isExplicit()).isTrue();
+        assertThat(first.getPlaybackSeconds()).isEqualTo(200);
+        assertThat(readCover(first)).isEqualTo(cover);
+
+        Track second = trackRepository.findByIsrc("USSNP0000002").orElseThrow();
+        assertThat(second.getArtistName()).isNull();
+        assertThat(second.getAlbumName()).isNull();
+        assertThat(second.getAlbumId()).isNull();
+        assertThat(second.isExplicit()).isFalse();
+        assertThat(second.getCoverImagePath()).isNull();
+
+        Track third = trackRepository.findByIsrc("USSNP0000003").orElseThrow();
+        assertThat(third.getArtistName()).isEqualTo("Shared Artist");
+        assertThat(third.getAlbumName()).isEqualTo("Shared Album");
+        assertThat(third.getCoverImagePath()).isNull();
+    }
+
+    @Test
+    void repeatedArtistAndAlbumValuesAreWrittenOnce() throws IOException {
+        String artist = "A Rather Distinctive Artist Name";
+        for (int i = 0; i < 20; i++) {
+            saveTrack(String.format("USDIC%07d", i), "Song " + i, artist, "Distinctive Album", false, null);
+        }
+
+        byte[] snapshot = export();
+        String payload = new String(inflatePayload(snapshot), StandardCharsets.ISO_8859_1);
+        assertThat(payload.split(artist, -1)).hasSize(2);
+        assertThat(payload.split("Distinctive Album", -1)).hasSize(3); // Once as album name, once inside the album ID.
+
+        trackRepository.deleteAll();
+        importSnapshot(snapshot);
+        assertThat(trackRepository.findAll())
+                .hasSize(20)
+                .allSatisfy(track -> {
+                    assertThat(track.getArtistName()).isEqualTo(artist);
+                    assertThat(track.getAlbumName()).isEqualTo("Distinctive Album");
+                });
+    }
+
+    @Test
+    void existingIsrcsAreSkipped() throws IOException {
+        saveTrack("USSKP0000001", "Kept", "Artist", "Album", false, null);
+        saveTrack("USSKP0000002", "Restored", "Artist", "Album", false, null);
+        byte[] snapshot = export();
+
+        trackRepository.deleteById("USSKP0000002");
+        Track kept = trackRepository.findByIsrc("USSKP0000001").orElseThrow();
+        kept.setName("Changed Locally");
+        trackRepository.save(kept);
+
+        SnapshotImportResponseDTO result = importSnapshot(snapshot);
+
+        assertThat(result.importedTracks()).isEqualTo(1);
+        assertThat(result.skippedTracks()).isEqualTo(1);
+        assertThat(trackRepository.findByIsrc("USSKP0000001").orElseThrow().getName()).isEqualTo("Changed Locally");
+        assertThat(trackRepository.findByIsrc("USSKP0000002")).isPresent();
+    }
+
+    @Test
+    void coversAreNamedAfterTheImportedIsrc() throws IOException {
+        // The snapshot record for the new track carries the file name of an existing track's cover.
+        byte[] snapshotCover = randomBytes(2, 1024);
+        Track imported = new Track();
+        imported.setIsrc("USCOV0000002");
+        imported.setName("Imported");
+        imported.setPlaybackSeconds(200);
+        imported.setCoverImagePath(storageService.storeFile(snapshotCover, "USCOV0000001.jpg"));
+        trackRepository.save(imported);
+        byte[] snapshot = export();
+        trackRepository.deleteAll();
+
+        byte[] existingCover = randomBytes(1, 1024);
+        saveTrack("USCOV0000001", "Existing", "Artist", "Album", false, existingCover);
+
+        SnapshotImportResponseDTO result = importSnapshot(snapshot);
+
+        assertThat(result).isEqualTo(new SnapshotImportResponseDTO(1, 0, 1));
+        assertThat(readCover(trackRepository.findByIsrc("USCOV0000001").orElseThrow())).isEqualTo(existingCover);
+        Track restored = trackRepository.findByIsrc("USCOV0000002").orElseThrow();
+        assertThat(Path.of(restored.getCoverImagePath()).getFileName()).hasToString("USCOV0000002.jpg");
+        assertThat(readCover(restored)).isEqualTo(snapshotCover);
+    }
+
+    @Test
+    void truncatedSnapshotIsRejectedAndRolledBack() throws IOException {
+        byte[] snapshot = exportLargeCatalog();
+
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length * 3 / 4);
+        assertImportFailsAndLeavesTableUnchanged(truncated, null);
+    }
+
+    @Test
+    void corruptedCompressedStreamIsRejectedAndRolledBack() throws IOException {
+        byte[] snapshot = exportLargeCatalog();
+
+        byte[] corrupted = snapshot.clone();
+        corrupted[corrupted.length / 2] ^= 0x01;
+        assertImportFailsAndLeavesTableUnchanged(corrupted, null);
+    }
+
+    @Test
+    void flippedRecordByteFailsChecksumAndIsRolledBack() throws IOException {
+        byte[] snapshot = exportLargeCatalog();
+
+        // Flip a byte inside one cover and re-compress, so the deflate stream is valid and only the
+        // snapshot's own checksum can notice the change.
+        byte[] payload = inflatePayload(snapshot);
+        int coverOffset = indexOf(payload, randomBytes(LARGE_CATALOG_SIZE / 2, 512));
+        assertThat(coverOffset).isPositive();
+        payload[coverOffset + 100] ^= 0x01;
+
+        assertImportFailsAndLeavesTableUnchanged(recompress(snapshot, payload), "checksum");
+    }
+
+    @Test
+    void badMagicOrVersionIsRejected() throws IOException {
+        saveTrack("USHDR0000001", "Song", "Artist", "Album", false, null);
+        byte[] snapshot = export();
+        trackRepository.deleteAll();
+
+        byte[] badMagic = snapshot.clone();
+        badMagic[0] = 'X';
+        assertImportFailsAndLeavesTableUnchanged(badMagic, "not a catalog snapshot");
+
+        byte[] badVersion = snapshot.clone();
+        badVersion[4] = 99;
+        assertImportFailsAndLeavesTableUnchanged(badVersion, "Unsupported catalog snapshot version");
+
+        assertImportFailsAndLeavesTableUnchanged(new byte[]{'S', 'P'}, "truncated");
+    }
+
+    private void assertImportFailsAndLeavesTableUnchanged(byte[] snapshot, String expectedMessage) throws IOException {
+        trackRepository.deleteAll();
+        clearStorage();
+        saveTrack("USPRE0000001", "Pre-existing", "Artist", "Album", false, null);
+
+        var failure = assertThatThrownBy(() -> importSnapshot(snapshot)).isInstanceOf(CatalogSnapshotException.class);
+        if (expectedMessage != null) {
+            failure.hasMessageContaining(expectedMessage);
+        }
+
+        List<Track> remaining = trackRepository.findAll();
+        assertThat(remaining).extracting(Track::getIsrc).containsExactly("USPRE0000001");
+        assertThat(remaining.get(0).getName()).isEqualTo("Pre-existing");
+        // Covers written before the failure was detected are deleted along with the rollback.
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    private byte[] exportLargeCatalog() throws IOException {
+        for (int i = 0; i < LARGE_CATALOG_SIZE; i++) {
+            saveTrack(String.format("USBIG%07d", i), "Song " + i, "Artist " + i % 10, "Album " + i % 30, i % 2 == 0,
+                    randomBytes(i, 512));
+        }
+        return export();
+    }
+
+    private byte[] export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        catalogSnapshotService.exportSnapshot(out);
+        return out.toByteArray();
+    }
+
+    private SnapshotImportResponseDTO importSnapshot(byte[] snapshot) throws IOException {
+        return catalogSnapshotService.importSnapshot(new ByteArrayInputStream(snapshot));
+    }
+
+    private void saveTrack(String isrc, String name, String artistName, String albumName, boolean explicit, byte[] cover) {
+        Track track = new Track();
+        track.setIsrc(isrc);
+        track.setName(name);
+        track.setArtistName(artistName);
+        track.setAlbumName(albumName);
+        track.setAlbumId(albumName == null ? null : "album-" + albumName);
+        track.setExplicit(explicit);
+        track.setPlaybackSeconds(200);
+        if (cover != null) {
+            track.setCoverImagePath(storageService.storeFile(cover, isrc + ".jpg"));
+        }
+        trackRepository.save(track);
+    }
+
+    private byte[] readCover(Track track) throws IOException {
+        try (InputStream in = storageService.loadFileAsResource(track.getCoverImagePath()).resource().getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void clearStorage() throws IOException {
+        for (Path file : storedFiles()) {
+            Files.delete(file);
+        }
+    }
+
+    private static List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(STORAGE_LOCATION)) {
+            return files.toList();
+        }
+    }
+
+    /** The records as written, without the 5-byte header and decompressed. */
+    private static byte[] inflatePayload(byte[] snapshot) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(snapshot, 5, snapshot.length - 5))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] recompress(byte[] snapshot, byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(snapshot, 0, 5);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(out)) {
+            deflated.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static int indexOf(byte[] data, byte[] target) {
+        outer:
+        for (int i = 0; i <= data.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (data[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] randomBytes(long seed, int length) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Path createStorageLocation() {
+        try {
+            return Files.createTempDirectory("catalog-snapshot-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the packaged application and reports the time from process start until it answers
+ * its first HTTP request. Run by the 'prod' Maven profile so startup regressions show up in the build.
+ * It is a single-file program ({@code java StartupTimeReporter.java ...}), so it doesn't depend on compiled test sources.
+ * <p>
+ * Usage: {@code StartupTimeReporter <url> <username:password> <budget-ms> <log-file> <command...>}; a budget of 0 only reports.
+ * The probe authenticates and only counts a 2xx or 404 response, so the time includes dispatcher,
+ * controller and database initialization rather than just the security filter.
+ */
+public final class StartupTimeReporter {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private StartupTimeReporter() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 5) {
+            throw new IllegalArgumentException("Usage: StartupTimeReporter <url> <username:password> <budget-ms> <log-file> <command...>");
+        }
+        URI url = URI.create(args[0]);
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(args[1].getBytes(StandardCharsets.UTF_8));
+        long budgetMillis = Long.parseLong(args[2]);
+        File logFile = new File(args[3]);
+        List<String> command = Arrays.asList(args).subList(4, args.length);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile).start();
+        try {
+            long elapsedMillis = awaitFirstResponse(client, request, process, start);
+            System.out.printf("Time to first request: %d ms (%s)%n", elapsedMillis, url);
+            if (budgetMillis > 0 && elapsedMillis > budgetMillis) {
+                throw new IllegalStateException("Time to first request " + elapsedMillis + " ms exceeds the budget of " + budgetMillis + " ms.");
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long awaitFirstResponse(HttpClient client, HttpRequest request, Process process, long start)
+            throws InterruptedException {
+        long deadline = start + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + " before serving a request.");
+            }
+            HttpResponse<Void> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (IOException e) {
+                Thread.sleep(10);
+                continue;
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // A 404 for an unknown track comes from the controller after a database lookup;
+            // anything else (401, 5xx) means the request never made it through the application.
+            if (response.statusCode() / 100 == 2 || response.statusCode() == 404) {
+                return elapsedMillis;
+            }
+            throw new IllegalStateException("Startup probe got HTTP " + response.statusCode() + " instead of a response from the application.");
+        }
+        throw new IllegalStateException("Application did not serve a request within " + TIMEOUT.toSeconds() + " seconds.");
+    }
+}